@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+#
+# Starts several replicas on localhost with the clustered cache enabled.
+#
+# Usage: scripts/local-cluster.sh [replicas] [first-port]
+#
+# Stop the replicas with Ctrl+C.
+#
+set -euo pipefail
+
+REPLICAS="${1:-3}"
+FIRST_PORT="${2:-8081}"
+JAR="$(cd "$(dirname "$0")/.." && pwd)/target/mindmap-generator-1.0.0.jar"
+
+peers=""
+for i in $(seq 0 $(( REPLICAS - 1 ))); do
+  peers="${peers:+${peers},}http://localhost:$(( FIRST_PORT + i ))"
+done
+
+pids=()
+trap 'kill "${pids[@]}" 2> /dev/null || true' EXIT INT TERM
+
+for i in $(seq 0 $(( REPLICAS - 1 ))); do
+  port=$(( FIRST_PORT + i ))
+  java -jar "$JAR" \
+       --server.port="$port" \
+       --mindmap.cluster.enabled=true \
+       --mindmap.cluster.self="http://localhost:${port}" \
+       --mindmap.cluster.peers="$peers" &
+  pids+=($!)
+  echo "replica $(( i + 1 )) on port ${port} (pid ${pids[-1]})"
+done
+
+wait
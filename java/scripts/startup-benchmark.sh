@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request and resident memory of the mind map service.
+#
+# Usage: scripts/startup-benchmark.sh [default|fast] [runs]
+#
+#   default  runs the fat jar built by `mvn package`
+#   fast     runs the thin jar with AOT and the CDS archive built by `mvn -Pfast-startup package`
+#
+set -euo pipefail
+
+MODE="${1:-default}"
+RUNS="${2:-5}"
+PORT="${PORT:-18080}"
+TARGET_DIR="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR_NAME="mindmap-generator-1.0.0"
+HEALTH_URL="http://localhost:${PORT}/api/mindmap/health"
+
+case "$MODE" in
+  default)
+    JAVA_ARGS=(-jar "${TARGET_DIR}/${JAR_NAME}.jar")
+    ;;
+  fast)
+    JAVA_ARGS=(-XX:SharedArchiveFile="${TARGET_DIR}/application.jsa"
+               -Dspring.aot.enabled=true
+               -Dspring.profiles.active=fast-startup
+               -jar "${TARGET_DIR}/${JAR_NAME}.jar")
+    ;;
+  *)
+    echo "Unknown mode: ${MODE} (expected default or fast)" >&2
+    exit 1
+    ;;
+esac
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+total_ms=0
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  OPENAI_API_KEY="${OPENAI_API_KEY:-benchmark}" java -Dserver.port="${PORT}" "${JAVA_ARGS[@]}" > /dev/null 2>&1 &
+  pid=$!
+
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "$HEALTH_URL" || true)" = "200" ]; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Application exited before serving a request" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  elapsed=$(( $(now_ms) - start ))
+  rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+
+  total_ms=$(( total_ms + elapsed ))
+  echo "run ${run}: time-to-first-request=${elapsed} ms rss=$(( rss_kb / 1024 )) MB"
+done
+
+echo "mode=${MODE} runs=${RUNS} mean time-to-first-request=$(( total_ms / RUNS )) ms"
@@ -0,0 +1,199 @@
+package com.lightningroute.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limiter whose limit follows observed latency.
+ * <p>
+ * The limit is adjusted with a latency gradient: each request that called upstream
+ * compares a long-term moving average of upstream latency with its own. While
+ * requests complete at or below the average the limit grows by about sqrt(limit);
+ * when latency rises the limit shrinks proportionally, down to half per sample.
+ * Failed upstream calls cut the limit multiplicatively. Requests that never left
+ * the process, such as cache hits or rejected uploads, leave the limit unchanged
+ * so they cannot skew the gradient. Requests over the limit wait at most the
+ * queue-wait budget, and only up to {@code maxQueue} of them wait at once.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long queueWaitNanos;
+    private final int maxQueue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private double longRttNanos;
+    private int inFlight;
+    private int waiting;
+
+    /**
+     * @param initialLimit Concurrency limit before any latency is observed
+     * @param minLimit Lower bound for the limit
+     * @param maxLimit Upper bound for the limit
+     * @param queueWaitMillis Longest time a request may wait for a permit
+     * @param maxQueue Most requests allowed to wait for a permit at once
+     * @throws IllegalArgumentException If the limits are out of order or a queue setting is negative
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long queueWaitMillis, int maxQueue) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit, got "
+                    + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        if (queueWaitMillis < 0 || maxQueue < 0) {
+            throw new IllegalArgumentException("Queue wait and queue size must not be negative, got "
+                    + queueWaitMillis + " ms and " + maxQueue);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueWaitNanos = TimeUnit.MILLISECONDS.toNanos(queueWaitMillis);
+        this.maxQueue = maxQueue;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Acquire a permit, waiting at most the queue-wait budget
+     *
+     * @return A permit to release when the request completes, or null if the request should be shed
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public Permit tryAcquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                return grant();
+            }
+            if (waiting >= maxQueue) {
+                return null;
+            }
+
+            waiting++;
+            try {
+                long remaining = queueWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                return grant();
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The current concurrency limit
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of requests currently holding a permit
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit grant() {
+        inFlight++;
+        return new Permit(inFlight);
+    }
+
+    private void release(Permit permit) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (permit.upstreamFailed) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (permit.upstreamCalls > 0) {
+                onSample(permit.upstreamNanos, permit.inFlightAtStart);
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / Math.max(1, rttNanos)));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+
+        // Only grow when the limit is actually being used, otherwise idle periods inflate it
+        if (newLimit > limit && inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * A granted slot; record upstream calls made while holding it,
+     * then release exactly once when the request completes
+     */
+    public class Permit {
+
+        private final int inFlightAtStart;
+        private long upstreamNanos;
+        private int upstreamCalls;
+        private boolean upstreamFailed;
+        private boolean released;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Record a call that left the process, e.g. to OpenAI or another replica
+         *
+         * @param nanos How long the call took
+         * @param succeeded False if the call failed, which shrinks the limit on release
+         */
+        public void recordUpstream(long nanos, boolean succeeded) {
+            upstreamNanos += nanos;
+            upstreamCalls++;
+            upstreamFailed |= !succeeded;
+        }
+
+        /**
+         * Return the permit and feed the recorded upstream calls into the limit
+         */
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(this);
+        }
+    }
+}
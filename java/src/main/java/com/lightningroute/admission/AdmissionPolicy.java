@@ -0,0 +1,11 @@
+package com.lightningroute.admission;
+
+/**
+ * What to do with a request that cannot be admitted within its queue-wait budget
+ */
+public enum AdmissionPolicy {
+    /** Reply with 429 Too Many Requests */
+    REJECT,
+    /** Serve a mind map computed locally without calling OpenAI */
+    FALLBACK
+}
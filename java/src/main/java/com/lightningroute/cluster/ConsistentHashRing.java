@@ -0,0 +1,79 @@
+package com.lightningroute.cluster;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Consistent hash ring mapping keys to cluster members.
+ * Each member is placed on the ring at several virtual positions so that
+ * keys spread evenly and only a fraction of them move when membership changes.
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * Build a ring for the given members
+     * 
+     * @param members The member identifiers, e.g. base URLs
+     * @param virtualNodes Number of ring positions per member
+     */
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1");
+        }
+        for (String member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(position(member + "#" + i), member);
+            }
+        }
+    }
+
+    /**
+     * Find the member owning the given key
+     * 
+     * @param key The key, typically a content digest
+     * @return The owning member, or null if the ring is empty
+     */
+    public String ownerOf(String key) {
+        return ownerOf(key, member -> true);
+    }
+
+    /**
+     * Find the first member clockwise from the key that satisfies the predicate.
+     * Used to skip members that are currently unreachable.
+     * 
+     * @param key The key, typically a content digest
+     * @param eligible Filter for members that may own the key
+     * @return The owning member, or null if no member is eligible
+     */
+    public String ownerOf(String key, Predicate<String> eligible) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        long position = position(key);
+        for (Map.Entry<Long, String> entry : ring.tailMap(position, true).entrySet()) {
+            if (eligible.test(entry.getValue())) {
+                return entry.getValue();
+            }
+        }
+        for (Map.Entry<Long, String> entry : ring.headMap(position, false).entrySet()) {
+            if (eligible.test(entry.getValue())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static long position(String value) {
+        byte[] hash = ContentDigest.sha256(value);
+        long position = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            position = (position << 8) | (hash[i] & 0xFF);
+        }
+        return position;
+    }
+}
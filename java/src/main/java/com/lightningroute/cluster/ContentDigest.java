@@ -0,0 +1,40 @@
+package com.lightningroute.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 content digests used to identify mind map inputs across replicas
+ */
+public final class ContentDigest {
+
+    private ContentDigest() {
+    }
+
+    /**
+     * Compute the hex encoded SHA-256 digest of the given text
+     * 
+     * @param text The input text
+     * @return Lowercase hex digest
+     */
+    public static String of(String text) {
+        return HexFormat.of().formatHex(sha256(text));
+    }
+
+    /**
+     * Compute the SHA-256 digest of the given text
+     * 
+     * @param text The input text
+     * @return Raw digest bytes
+     */
+    static byte[] sha256(String text) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.lightningroute.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lightningroute.model.MindMap;
+import com.lightningroute.service.OpenAIService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Mind map cache with refresh-ahead.
+ * Entries that are read after the refresh interval are regenerated in the
+ * background while the current value keeps being served, so hot maps never
+ * expire under their readers. Entries nobody reads still expire after the TTL.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class CacheConfig {
+
+    public static final String MINDMAP_CACHE = "mindmaps";
+
+    private final ObjectProvider<OpenAIService> openAIService;
+
+    @Value("${mindmap.cache.ttl:30}")
+    private Integer ttlMinutes;
+
+    @Value("${mindmap.cache.refresh-after:20}")
+    private Integer refreshAfterMinutes;
+
+    @Value("${mindmap.cache.max-entries:1000}")
+    private Integer maxEntries;
+
+    @Value("${mindmap.cache.refresh-threads:2}")
+    private Integer refreshThreads;
+
+    @Bean
+    public CacheManager cacheManager(ThreadPoolTaskExecutor mindMapRefreshExecutor) {
+        // A refresh interval at or past the TTL would never fire, so entries would just expire
+        if (refreshAfterMinutes >= ttlMinutes) {
+            throw new IllegalStateException("mindmap.cache.refresh-after (" + refreshAfterMinutes
+                    + ") must be shorter than mindmap.cache.ttl (" + ttlMinutes + ")");
+        }
+        // Caffeine keeps its default executor for maintenance and removal work
+        return createCacheManager(Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .refreshAfterWrite(Duration.ofMinutes(refreshAfterMinutes)),
+                openAIService, mindMapRefreshExecutor);
+    }
+
+    /**
+     * Build the mind map cache manager from a prepared Caffeine builder,
+     * so tests can supply their own ticker and executors
+     *
+     * @param caffeine Caffeine builder with size, expiry and refresh settings
+     * @param openAIService Provider of the service that regenerates maps
+     * @param refreshExecutor Executor that runs the OpenAI calls of refreshes
+     * @return The cache manager
+     */
+    static CaffeineCacheManager createCacheManager(Caffeine<Object, Object> caffeine,
+                                                   ObjectProvider<OpenAIService> openAIService,
+                                                   Executor refreshExecutor) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(caffeine);
+        cacheManager.setCacheLoader(new MindMapRefreshLoader(openAIService, refreshExecutor));
+        cacheManager.setCacheNames(List.of(MINDMAP_CACHE));
+        return cacheManager;
+    }
+
+    /**
+     * Refreshes block on OpenAI, so they run on their own low-priority threads
+     * instead of the common fork-join pool. Shut down with the context.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mindMapRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(refreshThreads);
+        executor.setMaxPoolSize(refreshThreads);
+        // Caffeine refreshes each key at most once at a time, so this bound is never reached in practice
+        executor.setQueueCapacity(maxEntries);
+        executor.setThreadNamePrefix("mindmap-refresh-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    /**
+     * Single low-priority thread that feeds the startup warm-up corpus into the cache.
+     * Shut down with the context.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler cacheWarmupScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("mindmap-warmup-");
+        scheduler.setThreadPriority(Thread.MIN_PRIORITY);
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+
+    /**
+     * Loader used only for refresh-ahead.
+     * Initial loads return null so that a miss falls through to the
+     * {@code @Cacheable} method with its retry and fallback handling.
+     * Refreshes run on the dedicated refresh executor rather than the
+     * executor Caffeine passes in.
+     */
+    @RequiredArgsConstructor
+    private static class MindMapRefreshLoader implements CacheLoader<Object, Object> {
+
+        private final ObjectProvider<OpenAIService> openAIService;
+        private final Executor refreshExecutor;
+
+        @Override
+        public Object load(Object key) {
+            return null;
+        }
+
+        @Override
+        public CompletableFuture<MindMap> asyncReload(Object key, Object oldValue, Executor executor) {
+            log.debug("Refreshing cached mind map ahead of expiry");
+            // A failed future keeps the stale value in place until the next refresh attempt
+            return CompletableFuture.supplyAsync(
+                    () -> openAIService.getObject().requestMindMap((String) key), refreshExecutor);
+        }
+    }
+}
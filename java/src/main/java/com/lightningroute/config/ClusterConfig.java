@@ -0,0 +1,34 @@
+package com.lightningroute.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class ClusterConfig {
+
+    @Value("${mindmap.cluster.connect-timeout:1}")
+    private Integer connectTimeout;
+
+    @Value("${mindmap.cluster.forward-timeout:65}")
+    private Integer forwardTimeout;
+
+    /**
+     * Client for forwarding requests to the owning replica.
+     * The short connect timeout detects a dead peer quickly, while the read
+     * timeout leaves the owner enough time for a full OpenAI call.
+     */
+    @Bean
+    public RestClient clusterRestClient(RestClient.Builder restClientBuilder) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(connectTimeout))
+                .build());
+        requestFactory.setReadTimeout(Duration.ofSeconds(forwardTimeout));
+        return restClientBuilder.requestFactory(requestFactory).build();
+    }
+}
@@ -4,6 +4,7 @@ import com.theokanning.openai.service.OpenAiService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import java.time.Duration;
 
 @Configuration
@@ -15,7 +16,12 @@ public class OpenAIConfig {
     @Value("${openai.api.timeout:60}")
     private Integer timeout;
 
+    /**
+     * The client pulls in Retrofit, OkHttp and its own Jackson setup,
+     * so it is only built when the first mind map is requested
+     */
     @Bean
+    @Lazy
     public OpenAiService openAiService() {
         return new OpenAiService(apiKey, Duration.ofSeconds(timeout));
     }
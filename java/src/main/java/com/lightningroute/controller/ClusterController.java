@@ -0,0 +1,53 @@
+package com.lightningroute.controller;
+
+import com.lightningroute.model.MindMap;
+import com.lightningroute.model.OpenAIRequest;
+import com.lightningroute.service.AdmissionControlService;
+import com.lightningroute.service.ClusterRoutingService;
+import com.lightningroute.service.OpenAIService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Peer-to-peer endpoints used by the clustered mind map cache
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@RequiredArgsConstructor
+public class ClusterController {
+
+    private final OpenAIService openAIService;
+    private final ClusterRoutingService clusterRoutingService;
+    private final AdmissionControlService admissionControlService;
+
+    /**
+     * Serve a mind map forwarded by another replica.
+     * The request is always answered from this replica's cache so forwards never loop.
+     * Runs under its own admission limit, which bounds this replica's concurrency
+     * to OpenAI across all forwarding peers; over the limit it answers 429.
+     * 
+     * @param request The forwarded request containing the text
+     * @return The cached or freshly generated mind map
+     * @throws Exception If the mind map cannot be generated
+     */
+    @PostMapping("/mindmap")
+    public ResponseEntity<MindMap> ownedMindMap(@RequestBody OpenAIRequest request) throws Exception {
+        MindMap mindMap = admissionControlService.admit(AdmissionControlService.FORWARD,
+                () -> openAIService.generateMindMap(request.getText()),
+                null);
+        return ResponseEntity.ok(mindMap);
+    }
+
+    /**
+     * Cluster membership as seen by this replica
+     * 
+     * @return Cluster status information
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> clusterStatus() {
+        return ResponseEntity.ok(clusterRoutingService.status());
+    }
+}
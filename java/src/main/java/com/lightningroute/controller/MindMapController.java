@@ -1,7 +1,11 @@
 package com.lightningroute.controller;
 
+import com.lightningroute.exception.GlobalExceptionHandler.AdmissionRejectedException;
+import com.lightningroute.exception.GlobalExceptionHandler.OpenAIApiException;
 import com.lightningroute.model.MindMap;
 import com.lightningroute.model.OpenAIRequest;
+import com.lightningroute.service.AdmissionControlService;
+import com.lightningroute.service.ClusterRoutingService;
 import com.lightningroute.service.FileProcessingService;
 import com.lightningroute.service.OpenAIService;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -20,8 +25,10 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class MindMapController {
 
-    private final OpenAIService openAIService;
+    private final ClusterRoutingService clusterRoutingService;
     private final FileProcessingService fileProcessingService;
+    private final OpenAIService openAIService;
+    private final AdmissionControlService admissionControlService;
 
     /**
      * Generate mind map from text input
@@ -32,8 +39,13 @@ public class MindMapController {
     @PostMapping("/generate")
     public ResponseEntity<MindMap> generateMindMap(@RequestBody OpenAIRequest request) {
         try {
-            MindMap mindMap = openAIService.generateMindMap(request.getText());
+            MindMap mindMap = admissionControlService.admit(AdmissionControlService.GENERATE,
+                    () -> clusterRoutingService.generateMindMap(request.getText()),
+                    () -> openAIService.generateFallbackMindMap(request.getText()));
             return ResponseEntity.ok(mindMap);
+        } catch (AdmissionRejectedException | OpenAIApiException e) {
+            // Answered with 429 or 503 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             log.error("Error generating mind map", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
@@ -49,9 +61,14 @@ public class MindMapController {
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<MindMap> generateMindMapFromFile(@RequestParam("file") MultipartFile file) {
         try {
-            String extractedText = fileProcessingService.processFile(file);
-            MindMap mindMap = openAIService.generateMindMap(extractedText);
+            // Extraction runs only under a permit; shed uploads are rejected rather than parsed
+            MindMap mindMap = admissionControlService.admit(AdmissionControlService.UPLOAD,
+                    () -> clusterRoutingService.generateMindMap(fileProcessingService.processFile(file)),
+                    null);
             return ResponseEntity.ok(mindMap);
+        } catch (AdmissionRejectedException | OpenAIApiException e) {
+            // Answered with 429 or 503 by GlobalExceptionHandler
+            throw e;
         } catch (IOException e) {
             log.error("Error processing file", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -72,4 +89,14 @@ public class MindMapController {
     public ResponseEntity<String> serviceStatus() {
         return ResponseEntity.ok("Mind Map API is running!");
     }
+
+    /**
+     * Admission control status endpoint
+     * 
+     * @return Current concurrency limit and usage per endpoint
+     */
+    @GetMapping("/admission")
+    public ResponseEntity<Map<String, Object>> admissionStatus() {
+        return ResponseEntity.ok(admissionControlService.status());
+    }
 }
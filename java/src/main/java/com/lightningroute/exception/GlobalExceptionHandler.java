@@ -1,5 +1,6 @@
 package com.lightningroute.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -60,6 +61,20 @@ public class GlobalExceptionHandler {
                 ex.getMessage());
     }
     
+    /**
+     * Handle requests shed by admission control
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleAdmissionRejectedException(AdmissionRejectedException ex) {
+        ResponseEntity<Map<String, Object>> response = createErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS, 
+                "Service overloaded", 
+                ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+    
     /**
      * Create a standardized error response
      */
@@ -94,4 +109,13 @@ public class GlobalExceptionHandler {
             super(message, cause);
         }
     }
+    
+    /**
+     * Custom exception for requests shed by admission control
+     */
+    public static class AdmissionRejectedException extends RuntimeException {
+        public AdmissionRejectedException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,193 @@
+package com.lightningroute.service;
+
+import com.lightningroute.admission.AdaptiveConcurrencyLimiter;
+import com.lightningroute.admission.AdmissionPolicy;
+import com.lightningroute.exception.GlobalExceptionHandler.AdmissionRejectedException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive admission control for the mind map endpoints.
+ * Each endpoint has its own limiter configured under {@code mindmap.admission.<endpoint>.*}.
+ * Requests that cannot be admitted within the endpoint's queue-wait budget are
+ * rejected or answered with a local mind map, according to the endpoint's policy.
+ * Only calls wrapped in {@link #upstream(Supplier)} feed latency and failures into
+ * the limits, so cache hits and client errors do not move them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdmissionControlService {
+
+    public static final String GENERATE = "generate";
+    public static final String UPLOAD = "upload";
+    public static final String FORWARD = "forward";
+
+    private static final List<String> ENDPOINTS = List.of(GENERATE, UPLOAD, FORWARD);
+
+    private final Environment environment;
+
+    @Value("${mindmap.admission.enabled:true}")
+    private boolean enabled;
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new HashMap<>();
+    private final Map<String, AdmissionPolicy> policies = new HashMap<>();
+    private final ThreadLocal<AdaptiveConcurrencyLimiter.Permit> currentPermit = new ThreadLocal<>();
+
+    /**
+     * Build every endpoint's limiter and policy up front so that configuration
+     * errors fail startup instead of surfacing only under overload
+     */
+    @PostConstruct
+    void init() {
+        for (String endpoint : ENDPOINTS) {
+            try {
+                limiters.put(endpoint, new AdaptiveConcurrencyLimiter(
+                        property(endpoint, "initial-limit", 20),
+                        property(endpoint, "min-limit", 1),
+                        property(endpoint, "max-limit", 200),
+                        property(endpoint, "queue-wait", 500),
+                        property(endpoint, "max-queue", 50)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid mindmap.admission." + endpoint + " settings: " + e.getMessage(), e);
+            }
+            policies.put(endpoint, parsePolicy(endpoint));
+        }
+    }
+
+    /**
+     * Run a request under the endpoint's concurrency limit
+     *
+     * @param endpoint The endpoint name, e.g. {@link #GENERATE}
+     * @param admitted Work to run when a permit is granted
+     * @param shed Work to run when the request is shed under the fallback policy,
+     *             or null if the endpoint always rejects shed requests. Admitted work
+     *             that throws AdmissionRejectedException, e.g. because the owning
+     *             replica is overloaded, is shed the same way.
+     * @return The result of the admitted or shed work
+     * @throws AdmissionRejectedException If the request is shed and cannot fall back
+     * @throws Exception If the admitted or shed work fails
+     */
+    public <T> T admit(String endpoint, Callable<T> admitted, Callable<T> shed) throws Exception {
+        if (!enabled) {
+            return admitted.call();
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpoint);
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionRejectedException("Interrupted while waiting for admission");
+        }
+
+        if (permit == null) {
+            log.warn("Shedding {} request over concurrency limit {} with policy {}",
+                    endpoint, limiter.getLimit(), policies.get(endpoint));
+            return shed(endpoint, shed, new AdmissionRejectedException(
+                    "Too many concurrent " + endpoint + " requests, please retry shortly"));
+        }
+
+        AdmissionRejectedException rejection;
+        currentPermit.set(permit);
+        try {
+            return admitted.call();
+        } catch (AdmissionRejectedException e) {
+            // The owning replica shed the request, which is handled like a local shed
+            log.warn("Shedding {} request rejected by cluster owner with policy {}", endpoint, policies.get(endpoint));
+            rejection = e;
+        } finally {
+            currentPermit.remove();
+            permit.release();
+        }
+        return shed(endpoint, shed, rejection);
+    }
+
+    /**
+     * Run a call that leaves the process and record its latency and outcome
+     * against the permit of the request being served on this thread, if any
+     *
+     * @param call The upstream call
+     * @return The result of the call
+     */
+    public <T> T upstream(Supplier<T> call) {
+        AdaptiveConcurrencyLimiter.Permit permit = currentPermit.get();
+        if (permit == null) {
+            return call.get();
+        }
+
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            T result = call.get();
+            succeeded = true;
+            return result;
+        } finally {
+            permit.recordUpstream(System.nanoTime() - start, succeeded);
+        }
+    }
+
+    /**
+     * Check whether an endpoint is using at least half of its concurrency limit,
+     * so background work can step aside for user requests
+     *
+     * @param endpoint The endpoint name, e.g. {@link #GENERATE}
+     * @return True if admission control is enabled and the endpoint is busy
+     */
+    public boolean isBusy(String endpoint) {
+        if (!enabled) {
+            return false;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpoint);
+        return limiter.getInFlight() * 2 >= limiter.getLimit();
+    }
+
+    /**
+     * Current limit and usage of every endpoint
+     *
+     * @return Admission status per endpoint
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new HashMap<>();
+        limiters.forEach((endpoint, limiter) -> {
+            Map<String, Object> endpointStatus = new HashMap<>();
+            endpointStatus.put("limit", limiter.getLimit());
+            endpointStatus.put("inFlight", limiter.getInFlight());
+            endpointStatus.put("policy", policies.get(endpoint).name());
+            status.put(endpoint, endpointStatus);
+        });
+        return status;
+    }
+
+    private <T> T shed(String endpoint, Callable<T> shed, AdmissionRejectedException rejection) throws Exception {
+        if (policies.get(endpoint) == AdmissionPolicy.FALLBACK && shed != null) {
+            return shed.call();
+        }
+        throw rejection;
+    }
+
+    private AdmissionPolicy parsePolicy(String endpoint) {
+        String key = "mindmap.admission." + endpoint + ".policy";
+        String policy = environment.getProperty(key, "reject");
+        try {
+            return AdmissionPolicy.valueOf(policy.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + key + " '" + policy + "', expected reject or fallback", e);
+        }
+    }
+
+    private int property(String endpoint, String name, int defaultValue) {
+        return environment.getProperty("mindmap.admission." + endpoint + "." + name, Integer.class, defaultValue);
+    }
+}
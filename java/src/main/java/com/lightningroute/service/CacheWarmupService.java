@@ -0,0 +1,135 @@
+package com.lightningroute.service;
+
+import com.lightningroute.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Preloads the mind map cache with a corpus of frequent inputs at startup.
+ * Each file matched by the corpus pattern is one input. Inputs are generated
+ * one at a time on a low-priority thread at a fixed rate. While the generate
+ * endpoint uses half of its concurrency limit or more, warm-up steps are
+ * deferred so that a traffic burst is not slowed down further by warming.
+ * Only maps actually returned by OpenAI are cached; inputs that fail are left
+ * for user traffic to fill.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheWarmupService {
+
+    private final OpenAIService openAIService;
+    private final ClusterRoutingService clusterRoutingService;
+    private final CacheManager cacheManager;
+    private final ThreadPoolTaskScheduler cacheWarmupScheduler;
+    private final AdmissionControlService admissionControlService;
+
+    @Value("${mindmap.cache.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${mindmap.cache.warmup.corpus:}")
+    private String corpus;
+
+    @Value("${mindmap.cache.warmup.per-minute:30}")
+    private Integer perMinute;
+
+    @Value("${mindmap.cache.warmup.max-entries:100}")
+    private Integer maxEntries;
+
+    /**
+     * Queue the warm-up corpus once the application is ready to serve requests
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled || corpus.isBlank()) {
+            return;
+        }
+
+        Queue<String> inputs = loadCorpus();
+        if (inputs.isEmpty()) {
+            log.info("Cache warm-up corpus {} is empty", corpus);
+            return;
+        }
+        log.info("Warming mind map cache with {} inputs at {} per minute", inputs.size(), perMinute);
+
+        Cache cache = cacheManager.getCache(CacheConfig.MINDMAP_CACHE);
+        long intervalMillis = TimeUnit.MINUTES.toMillis(1) / Math.max(1, perMinute);
+        AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+        task.set(cacheWarmupScheduler.scheduleWithFixedDelay(() -> {
+            if (admissionControlService.isBusy(AdmissionControlService.GENERATE)) {
+                log.debug("Deferring cache warm-up step while user traffic is high");
+                return;
+            }
+            String text = inputs.poll();
+            if (text == null) {
+                log.info("Cache warm-up finished");
+                ScheduledFuture<?> future = task.get();
+                if (future != null) {
+                    future.cancel(false);
+                }
+                return;
+            }
+            warm(cache, text);
+        }, Duration.ofMillis(intervalMillis)));
+    }
+
+    /**
+     * Generate and cache one input unless it is already cached.
+     * Uses the uncached request so a failure never stores the local fallback map.
+     *
+     * @param cache The mind map cache
+     * @param text The input text
+     */
+    private void warm(Cache cache, String text) {
+        if (cache.get(text) != null) {
+            return;
+        }
+        try {
+            cache.put(text, openAIService.requestMindMap(text));
+        } catch (Exception e) {
+            log.warn("Cache warm-up failed for one input: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Read the corpus, keeping only inputs this replica owns in cluster mode
+     *
+     * @return Queue of inputs to warm
+     */
+    private Queue<String> loadCorpus() {
+        Queue<String> inputs = new ConcurrentLinkedQueue<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(corpus);
+            for (Resource resource : resources) {
+                if (inputs.size() >= maxEntries) {
+                    break;
+                }
+                String text = resource.getContentAsString(StandardCharsets.UTF_8);
+                if (!text.isBlank() && clusterRoutingService.isLocalOwner(text)) {
+                    inputs.add(text);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read cache warm-up corpus {}", corpus, e);
+        }
+        return inputs;
+    }
+}
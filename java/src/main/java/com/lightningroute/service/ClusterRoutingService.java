@@ -0,0 +1,197 @@
+package com.lightningroute.service;
+
+import com.lightningroute.cluster.ConsistentHashRing;
+import com.lightningroute.cluster.ContentDigest;
+import com.lightningroute.exception.GlobalExceptionHandler.AdmissionRejectedException;
+import com.lightningroute.exception.GlobalExceptionHandler.OpenAIApiException;
+import com.lightningroute.model.MindMap;
+import com.lightningroute.model.OpenAIRequest;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes mind map generation to the replica owning the input.
+ * In cluster mode every replica only caches the inputs it owns on the
+ * consistent hash ring, so the cluster-wide cache grows with the replica
+ * count and the same document never costs more than one LLM call.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClusterRoutingService {
+
+    public static final String FORWARD_PATH = "/api/cluster/mindmap";
+
+    private final OpenAIService openAIService;
+    private final RestClient clusterRestClient;
+    private final AdmissionControlService admissionControlService;
+
+    @Value("${mindmap.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${mindmap.cluster.self:http://localhost:${server.port:8080}}")
+    private String self;
+
+    @Value("${mindmap.cluster.peers:}")
+    private List<String> peers;
+
+    @Value("${mindmap.cluster.virtual-nodes:128}")
+    private Integer virtualNodes;
+
+    @Value("${mindmap.cluster.peer-retry-interval:10}")
+    private Integer peerRetryInterval;
+
+    private final Map<String, Long> unreachableUntil = new ConcurrentHashMap<>();
+    private List<String> members;
+    private ConsistentHashRing ring;
+
+    @PostConstruct
+    void init() {
+        self = normalize(self);
+        Set<String> memberSet = new TreeSet<>();
+        for (String peer : peers) {
+            if (!peer.isBlank()) {
+                memberSet.add(normalize(peer));
+            }
+        }
+        // Every replica must build the same ring, so self has to appear in peers exactly as the others list it
+        if (enabled && !memberSet.contains(self)) {
+            throw new IllegalStateException("mindmap.cluster.self " + self
+                    + " is not listed in mindmap.cluster.peers " + memberSet);
+        }
+        memberSet.add(self);
+        members = List.copyOf(memberSet);
+        ring = new ConsistentHashRing(members, virtualNodes);
+
+        if (enabled) {
+            log.info("Cluster cache enabled as {} with members {}", self, members);
+        }
+    }
+
+    /**
+     * Generate a mind map, forwarding to the owning replica when clustering is enabled.
+     * If no connection to the owner can be opened the map is generated locally. Once
+     * connected, any failure including a read timeout is returned rather than calling
+     * OpenAI a second time, because the owner may still be generating the map.
+     *
+     * @param text The text to generate a mind map from
+     * @return A structured mind map object
+     * @throws AdmissionRejectedException If the owning replica is overloaded
+     * @throws OpenAIApiException If the owning replica answers with another error or times out
+     */
+    public MindMap generateMindMap(String text) {
+        if (!enabled) {
+            return openAIService.generateMindMap(text);
+        }
+
+        String owner = ownerOf(text);
+        if (owner == null || owner.equals(self)) {
+            return openAIService.generateMindMap(text);
+        }
+
+        try {
+            MindMap mindMap = admissionControlService.upstream(() -> clusterRestClient.post()
+                    .uri(owner + FORWARD_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(OpenAIRequest.builder().text(text).build())
+                    .retrieve()
+                    .body(MindMap.class));
+            if (mindMap == null) {
+                throw new OpenAIApiException("Empty response from cluster owner " + owner);
+            }
+            return mindMap;
+        } catch (ResourceAccessException e) {
+            if (!isConnectFailure(e)) {
+                throw new OpenAIApiException("Cluster owner " + owner + " did not answer in time", e);
+            }
+            log.warn("Cluster owner {} unreachable, generating locally: {}", owner, e.getMessage());
+            unreachableUntil.put(owner, System.currentTimeMillis() + peerRetryInterval * 1000L);
+            return openAIService.generateMindMap(text);
+        } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                throw new AdmissionRejectedException("Cluster owner " + owner + " is overloaded, please retry shortly");
+            }
+            throw new OpenAIApiException("Cluster owner " + owner + " failed to generate mind map", e);
+        } catch (RestClientException e) {
+            throw new OpenAIApiException("Cluster owner " + owner + " failed to generate mind map", e);
+        }
+    }
+
+    /**
+     * Check whether this replica owns the given input
+     *
+     * @param text The input text
+     * @return True if the input is cached on this replica
+     */
+    public boolean isLocalOwner(String text) {
+        if (!enabled) {
+            return true;
+        }
+        String owner = ownerOf(text);
+        return owner == null || owner.equals(self);
+    }
+
+    /**
+     * Describe this replica's view of the cluster
+     *
+     * @return Cluster status information
+     */
+    public Map<String, Object> status() {
+        long now = System.currentTimeMillis();
+        List<String> unreachable = members.stream()
+                .filter(member -> !isReachable(member, now))
+                .toList();
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("self", self);
+        status.put("members", members);
+        status.put("unreachable", unreachable);
+        return status;
+    }
+
+    private String ownerOf(String text) {
+        long now = System.currentTimeMillis();
+        return ring.ownerOf(ContentDigest.of(text), member -> isReachable(member, now));
+    }
+
+    private boolean isReachable(String member, long now) {
+        if (member.equals(self)) {
+            return true;
+        }
+        Long until = unreachableUntil.get(member);
+        return until == null || until <= now;
+    }
+
+    /**
+     * RestClient wraps every I/O error in ResourceAccessException, so look for
+     * the connect failure underneath it
+     */
+    private static boolean isConnectFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,27 @@
+package com.lightningroute.service;
+
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * DOCX text extraction backed by Apache POI.
+ * Created on first use so POI is not loaded at startup.
+ */
+@Lazy
+@Component
+public class DocxTextExtractor implements TextExtractor {
+
+    @Override
+    public String extractText(File file) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(Files.newInputStream(file.toPath()))) {
+            XWPFWordExtractor extractor = new XWPFWordExtractor(document);
+            return extractor.getText();
+        }
+    }
+}
@@ -2,12 +2,7 @@ package com.lightningroute.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.Tesseract;
-import net.sourceforge.tess4j.TesseractException;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -23,6 +18,11 @@ import java.nio.file.Paths;
 @RequiredArgsConstructor
 public class FileProcessingService {
 
+    // Heavy extractors are resolved on first use to keep PDFBox, POI and tess4j out of startup
+    private final ObjectProvider<PdfTextExtractor> pdfTextExtractor;
+    private final ObjectProvider<DocxTextExtractor> docxTextExtractor;
+    private final ObjectProvider<ImageTextExtractor> imageTextExtractor;
+
     /**
      * Process the uploaded file and extract text based on file type
      * 
@@ -49,13 +49,13 @@ public class FileProcessingService {
         try {
             // Process different file types
             if ("pdf".equals(extension)) {
-                return extractTextFromPdf(tempFile);
+                return pdfTextExtractor.getObject().extractText(tempFile);
             } else if ("docx".equals(extension)) {
-                return extractTextFromDocx(tempFile);
+                return docxTextExtractor.getObject().extractText(tempFile);
             } else if ("txt".equals(extension)) {
                 return extractTextFromTxt(tempFile);
             } else if (contentType != null && contentType.startsWith("image/")) {
-                return extractTextFromImage(tempFile);
+                return imageTextExtractor.getObject().extractText(tempFile);
             } else {
                 throw new IOException("Unsupported file type: " + contentType);
             }
@@ -69,32 +69,7 @@ public class FileProcessingService {
         }
     }
     
-    private String extractTextFromPdf(File file) throws IOException {
-        try (PDDocument document = PDDocument.load(file)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
-    }
-    
-    private String extractTextFromDocx(File file) throws IOException {
-        try (XWPFDocument document = new XWPFDocument(Files.newInputStream(file.toPath()))) {
-            XWPFWordExtractor extractor = new XWPFWordExtractor(document);
-            return extractor.getText();
-        }
-    }
-    
     private String extractTextFromTxt(File file) throws IOException {
         return new String(Files.readAllBytes(file.toPath()));
     }
-    
-    private String extractTextFromImage(File file) throws IOException {
-        Tesseract tesseract = new Tesseract();
-        try {
-            // Set tessdata path if needed in production
-            // tesseract.setDatapath("/path/to/tessdata");
-            return tesseract.doOCR(file);
-        } catch (TesseractException e) {
-            throw new IOException("Failed to perform OCR on image", e);
-        }
-    }
 }
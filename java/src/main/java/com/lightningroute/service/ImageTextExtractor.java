@@ -0,0 +1,30 @@
+package com.lightningroute.service;
+
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Image OCR backed by tess4j.
+ * Created on first use so tess4j and its JNA bindings are not loaded at startup.
+ */
+@Lazy
+@Component
+public class ImageTextExtractor implements TextExtractor {
+
+    @Override
+    public String extractText(File file) throws IOException {
+        Tesseract tesseract = new Tesseract();
+        try {
+            // Set tessdata path if needed in production
+            // tesseract.setDatapath("/path/to/tessdata");
+            return tesseract.doOCR(file);
+        } catch (TesseractException e) {
+            throw new IOException("Failed to perform OCR on image", e);
+        }
+    }
+}
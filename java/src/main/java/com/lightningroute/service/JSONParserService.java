@@ -13,8 +13,6 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Slf4j
 @Service
@@ -30,12 +28,12 @@ public class JSONParserService {
      * @return The extracted JSON string
      */
     public String extractJsonFromString(String content) {
-        // Pattern to find a JSON object in the text
-        Pattern pattern = Pattern.compile("\\{[^{}]*((\\{[^{}]*\\})[^{}]*)*\\}", Pattern.DOTALL);
-        Matcher matcher = pattern.matcher(content);
+        // Take everything from the first '{' to the last '}' and leave nesting to Jackson
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
         
-        if (matcher.find()) {
-            return matcher.group(0);
+        if (start >= 0 && end > start) {
+            return content.substring(start, end + 1);
         }
         
         return null;
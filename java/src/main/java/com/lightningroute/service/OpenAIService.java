@@ -1,11 +1,15 @@
 package com.lightningroute.service;
 
+import com.lightningroute.config.CacheConfig;
+import com.lightningroute.exception.GlobalExceptionHandler.OpenAIApiException;
 import com.lightningroute.model.MindMap;
 import com.lightningroute.model.MindMapNode;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.retry.annotation.Backoff;
@@ -14,19 +18,39 @@ import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OpenAIService {
 
-    private final com.theokanning.openai.service.OpenAiService openAiService;
+    private final ObjectProvider<com.theokanning.openai.service.OpenAiService> openAiService;
+    private final OutlineParserService outlineParserService;
+    private final JSONParserService jsonParserService;
+    private final AdmissionControlService admissionControlService;
     
     @Value("${openai.model:gpt-3.5-turbo}")
     private String model;
     
+    @Value("${openai.output-format:outline}")
+    private String outputFormatName;
+    
+    private OutputFormat outputFormat;
+    
+    /**
+     * Resolve the configured output format so that a typo fails startup
+     * instead of silently switching to JSON
+     */
+    @PostConstruct
+    void init() {
+        try {
+            outputFormat = OutputFormat.valueOf(outputFormatName.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid openai.output-format '" + outputFormatName
+                    + "', expected outline or json", e);
+        }
+    }
+    
     /**
      * Generate a mind map from the provided text
      * Uses caching to avoid repeated API calls for the same text
@@ -35,41 +59,69 @@ public class OpenAIService {
      * @param text The text to generate a mind map from
      * @return A structured mind map object
      */
-    @Cacheable("mindmaps")
+    @Cacheable(CacheConfig.MINDMAP_CACHE)
     @Retryable(maxAttempts = 3, backoff = @Backoff(delay = 1000, multiplier = 2))
     public MindMap generateMindMap(String text) {
         try {
-            // Prepare the prompt for OpenAI
-            String prompt = "Create a detailed mind map from the following text. " +
-                    "Format the response as JSON with nodes and connections. " +
-                    "Categorize each node as 'root', 'concept', 'example', or 'definition'. " +
-                    "Text: " + text;
-            
-            ChatCompletionRequest request = ChatCompletionRequest.builder()
-                    .model(model)
-                    .messages(Collections.singletonList(
-                            new ChatMessage("user", prompt)))
-                    .build();
-            
-            // Call OpenAI API
-            String response = openAiService.createChatCompletion(request)
-                    .getChoices().get(0).getMessage().getContent();
-            
-            // Parse JSON response to mind map
-            return parseJsonToMindMap(response);
+            return requestMindMap(text);
         } catch (Exception e) {
             log.error("Error generating mind map from OpenAI", e);
             return generateFallbackMindMap(text);
         }
     }
     
+    /**
+     * Request a mind map from OpenAI without caching or local fallback.
+     * Failures propagate so that a background refresh keeps the cached map
+     * instead of replacing it with a locally generated one
+     * 
+     * @param text The text to generate a mind map from
+     * @return A structured mind map object
+     */
+    public MindMap requestMindMap(String text) {
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(buildMessages(text))
+                .build();
+        
+        // Call OpenAI API, timed against the admission limit of the current request
+        String response = admissionControlService.upstream(() -> openAiService.getObject()
+                .createChatCompletion(request)
+                .getChoices().get(0).getMessage().getContent());
+        
+        return parseMindMap(response);
+    }
+    
+    /**
+     * Build the chat messages for the configured output format.
+     * The outline format is fixed by a system message so the model spends
+     * its output tokens on labels instead of repeated JSON keys
+     * 
+     * @param text The text to generate a mind map from
+     * @return Chat messages for the completion request
+     */
+    private List<ChatMessage> buildMessages(String text) {
+        if (outputFormat == OutputFormat.OUTLINE) {
+            return List.of(
+                    new ChatMessage("system", OutlineParserService.FORMAT_INSTRUCTIONS),
+                    new ChatMessage("user", "Create a detailed mind map from the following text.\n" + text));
+        }
+        
+        String prompt = "Create a detailed mind map from the following text. " +
+                "Format the response as JSON with nodes and connections. " +
+                "Categorize each node as 'root', 'concept', 'example', or 'definition'. " +
+                "Text: " + text;
+        return Collections.singletonList(new ChatMessage("user", prompt));
+    }
+    
     /**
      * Fallback method to generate a simple mind map when OpenAI API fails
+     * Also served by admission control when a request is shed under overload
      * 
      * @param text The input text
      * @return A basic mind map
      */
-    private MindMap generateFallbackMindMap(String text) {
+    public MindMap generateFallbackMindMap(String text) {
         MindMap mindMap = new MindMap();
         mindMap.setTitle("Mind Map (Generated Locally)");
         mindMap.setDescription("This mind map was generated locally due to API issues.");
@@ -133,32 +185,35 @@ public class OpenAIService {
     }
     
     /**
-     * Parse the JSON response from OpenAI into a MindMap object
-     * This method handles various JSON formats that OpenAI might return
+     * Parse the OpenAI response into a MindMap object
+     * The outline parser is tried first when the outline format is configured;
+     * JSON is always accepted as a fallback in case the model ignores the format
      * 
-     * @param jsonResponse The JSON response from OpenAI
+     * @param response The response from OpenAI
      * @return A structured mind map
+     * @throws OpenAIApiException If the response is in neither format
      */
-    private MindMap parseJsonToMindMap(String jsonResponse) {
-        // Extract JSON from the response (OpenAI might return text before/after the JSON)
-        Pattern pattern = Pattern.compile("\\{.*\\}", Pattern.DOTALL);
-        Matcher matcher = pattern.matcher(jsonResponse);
-        
-        if (!matcher.find()) {
-            log.warn("Could not extract JSON from OpenAI response, falling back to simple map");
-            return generateFallbackMindMap(jsonResponse);
+    private MindMap parseMindMap(String response) {
+        MindMap mindMap = null;
+        if (outputFormat == OutputFormat.OUTLINE) {
+            mindMap = outlineParserService.parseOutlineToMindMap(response);
         }
-        
-        // In a real implementation, use a proper JSON parser such as Jackson or Gson
-        // This is a simplified placeholder that would be replaced with actual JSON parsing
-        
-        // For now, return a simple fallback mind map
-        return generateFallbackMindMap(jsonResponse);
-        
-        // In the real implementation, we would parse the JSON to create:
-        // 1. Create MindMap instance
-        // 2. Add nodes with their properties from the JSON
-        // 3. Connect nodes based on the relationships in the JSON
-        // 4. Return the complete mind map
+        if (mindMap == null || mindMap.getNodes().isEmpty()) {
+            mindMap = jsonParserService.parseJsonToMindMap(response);
+        }
+        if (mindMap == null || mindMap.getNodes().isEmpty()) {
+            throw new OpenAIApiException("Could not parse mind map from OpenAI response");
+        }
+        return mindMap;
+    }
+    
+    /**
+     * Response format requested from OpenAI
+     */
+    enum OutputFormat {
+        /** Compact indented outline, see {@link OutlineParserService} */
+        OUTLINE,
+        /** JSON with nodes and connections */
+        JSON
     }
 }
@@ -0,0 +1,262 @@
+package com.lightningroute.service;
+
+import com.lightningroute.model.MindMap;
+import com.lightningroute.model.MindMapNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Parser for the compact outline format requested from OpenAI.
+ * <p>
+ * The format avoids repeating JSON keys for every node:
+ * <pre>
+ * &#64;t Title
+ * &#64;d One sentence description
+ * r Root label | tooltip
+ *   c Concept label | tooltip
+ *     e Example label
+ *   d Definition label | tooltip
+ * --
+ * 2&gt;4 contrasts with
+ * </pre>
+ * Nodes are numbered from 1 in order of appearance. Two spaces of indentation
+ * make a node a child of the nearest shallower node above it. The tag is one of
+ * r (root), c (concept), e (example) or d (definition). Lines after {@code --}
+ * are extra connections between node numbers with an optional relationship.
+ * <p>
+ * Common deviations are tolerated: Markdown list markers ({@code - }, {@code * },
+ * {@code 1. }), code fences and spaces around {@code >}. An unrecognised line
+ * between two node lines means the outline is incomplete, so the whole response
+ * is rejected and the caller can fall back to JSON.
+ */
+@Slf4j
+@Service
+public class OutlineParserService {
+
+    public static final String FORMAT_INSTRUCTIONS =
+            "Reply only with a mind map in this outline format, without JSON, code fences or commentary:\n" +
+            "@t <title>\n" +
+            "@d <one sentence description>\n" +
+            "r <root label> | <tooltip>\n" +
+            "  c <concept label> | <tooltip>\n" +
+            "    e <example label> | <tooltip>\n" +
+            "  d <definition label> | <tooltip>\n" +
+            "--\n" +
+            "<from>><to> <relationship>\n" +
+            "Rules: exactly one r line, first. Indent two spaces per level under the parent. " +
+            "Tags: r root, c concept, e example, d definition. Tooltips are optional. " +
+            "Nodes are numbered 1, 2, 3... in order of appearance; after the -- line list only " +
+            "connections that are not parent-child, e.g. 3>5 causes.";
+
+    private static final String TREE_RELATIONSHIP = "includes";
+    private static final String DEFAULT_RELATIONSHIP = "related";
+
+    /**
+     * Parse an outline response into a MindMap in a single pass
+     *
+     * @param response The OpenAI response text
+     * @return MindMap object, or null if the response is not a complete outline
+     */
+    public MindMap parseOutlineToMindMap(String response) {
+        MindMap mindMap = new MindMap();
+        mindMap.setTitle("Mind Map");
+        mindMap.setDescription("Generated from text");
+
+        // Ancestors of the current line as {level, node number}
+        Deque<int[]> parents = new ArrayDeque<>();
+        // Indexed by node number - 1, so edges are added without searching the map
+        List<MindMapNode> nodes = new ArrayList<>();
+        boolean inConnections = false;
+        // Set when a line is skipped after the first node; another node after it means a gap
+        boolean skippedAfterNode = false;
+
+        for (String line : response.split("\\r?\\n")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("```")) {
+                continue;
+            }
+            if (trimmed.startsWith("--")) {
+                inConnections = true;
+                continue;
+            }
+            trimmed = stripListMarker(trimmed);
+
+            if (inConnections) {
+                parseConnection(nodes, trimmed);
+            } else if (trimmed.startsWith("@t ")) {
+                mindMap.setTitle(trimmed.substring(3).strip());
+            } else if (trimmed.startsWith("@d ")) {
+                mindMap.setDescription(trimmed.substring(3).strip());
+            } else {
+                String category = categoryOf(trimmed);
+                if (category == null) {
+                    skippedAfterNode |= !nodes.isEmpty();
+                    continue;
+                }
+                if (skippedAfterNode) {
+                    log.warn("Unrecognised line inside outline, rejecting response");
+                    return null;
+                }
+
+                int level = indentLevel(line);
+                MindMapNode node = createNode(nodes.size() + 1, category, trimmed.substring(2), level);
+                nodes.add(node);
+                mindMap.addNode(node);
+
+                while (!parents.isEmpty() && parents.peek()[0] >= level) {
+                    parents.pop();
+                }
+                if (!parents.isEmpty()) {
+                    connect(nodes, parents.peek()[1], nodes.size(), TREE_RELATIONSHIP);
+                }
+                parents.push(new int[] {level, nodes.size()});
+
+                if (mindMap.getRootNodeId() == null && "root".equals(category)) {
+                    mindMap.setRootNodeId(node.getId());
+                }
+            }
+        }
+
+        if (nodes.isEmpty()) {
+            log.warn("Could not find outline nodes in response");
+            return null;
+        }
+        if (mindMap.getRootNodeId() == null) {
+            mindMap.setRootNodeId(nodeId(1));
+        }
+        return mindMap;
+    }
+
+    /**
+     * Create a node from the text following its tag
+     *
+     * @param number The node number
+     * @param category The node category
+     * @param text Label and optional tooltip separated by '|'
+     * @param level The indentation level
+     * @return MindMapNode object
+     */
+    private MindMapNode createNode(int number, String category, String text, int level) {
+        int separator = text.indexOf('|');
+        String label = (separator < 0 ? text : text.substring(0, separator)).strip();
+        String tooltip = separator < 0 ? "" : text.substring(separator + 1).strip();
+
+        return MindMapNode.builder()
+                .id(nodeId(number))
+                .label(label.isEmpty() ? "Unnamed Node" : label)
+                .category(category)
+                .tooltip(tooltip)
+                .level(level)
+                .connections(new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * Parse a connection line such as {@code 3>5 causes}
+     *
+     * @param nodes The nodes parsed so far
+     * @param line The trimmed connection line
+     */
+    private void parseConnection(List<MindMapNode> nodes, String line) {
+        int arrow = line.indexOf('>');
+        if (arrow <= 0) {
+            return;
+        }
+        int targetStart = arrow + 1;
+        while (targetStart < line.length() && line.charAt(targetStart) == ' ') {
+            targetStart++;
+        }
+        int end = targetStart;
+        while (end < line.length() && Character.isDigit(line.charAt(end))) {
+            end++;
+        }
+
+        try {
+            int source = Integer.parseInt(line.substring(0, arrow).strip());
+            int target = Integer.parseInt(line.substring(targetStart, end));
+            if (source < 1 || target < 1 || source > nodes.size() || target > nodes.size()) {
+                return;
+            }
+            String relationship = line.substring(end).strip();
+            connect(nodes, source, target, relationship.isEmpty() ? DEFAULT_RELATIONSHIP : relationship);
+        } catch (NumberFormatException e) {
+            log.debug("Skipping malformed connection line: {}", line);
+        }
+    }
+
+    private void connect(List<MindMapNode> nodes, int source, int target, String relationship) {
+        nodes.get(source - 1).getConnections().add(new MindMapNode.MindMapEdge(nodeId(target), relationship));
+    }
+
+    /**
+     * Remove a leading Markdown list marker such as "- ", "* ", "+ ", "1. " or "1) "
+     *
+     * @param trimmed The trimmed line
+     * @return The line without its list marker
+     */
+    private String stripListMarker(String trimmed) {
+        int i = 0;
+        char first = trimmed.charAt(0);
+        if (first == '-' || first == '*' || first == '+') {
+            i = 1;
+        } else {
+            while (i < trimmed.length() && Character.isDigit(trimmed.charAt(i))) {
+                i++;
+            }
+            if (i == 0 || i >= trimmed.length() || (trimmed.charAt(i) != '.' && trimmed.charAt(i) != ')')) {
+                return trimmed;
+            }
+            i++;
+        }
+        if (i >= trimmed.length() || trimmed.charAt(i) != ' ') {
+            return trimmed;
+        }
+        return trimmed.substring(i).strip();
+    }
+
+    /**
+     * Map a node line's tag to its category
+     *
+     * @param trimmed The trimmed line
+     * @return The category, or null if the line is not a node line
+     */
+    private String categoryOf(String trimmed) {
+        if (trimmed.length() < 3 || trimmed.charAt(1) != ' ') {
+            return null;
+        }
+        return switch (trimmed.charAt(0)) {
+            case 'r' -> "root";
+            case 'c' -> "concept";
+            case 'e' -> "example";
+            case 'd' -> "definition";
+            default -> null;
+        };
+    }
+
+    /**
+     * Indentation level of a line, two spaces or one tab per level
+     */
+    private int indentLevel(String line) {
+        int spaces = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ' ') {
+                spaces++;
+            } else if (c == '\t') {
+                spaces += 2;
+            } else {
+                break;
+            }
+        }
+        return spaces / 2;
+    }
+
+    private String nodeId(int number) {
+        return "n" + number;
+    }
+}
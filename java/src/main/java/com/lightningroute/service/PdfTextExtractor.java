@@ -0,0 +1,26 @@
+package com.lightningroute.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * PDF text extraction backed by PDFBox.
+ * Created on first use so PDFBox is not loaded at startup.
+ */
+@Lazy
+@Component
+public class PdfTextExtractor implements TextExtractor {
+
+    @Override
+    public String extractText(File file) throws IOException {
+        try (PDDocument document = PDDocument.load(file)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            return stripper.getText(document);
+        }
+    }
+}
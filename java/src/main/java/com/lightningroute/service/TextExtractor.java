@@ -0,0 +1,19 @@
+package com.lightningroute.service;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Extracts plain text from a document stored on disk
+ */
+public interface TextExtractor {
+
+    /**
+     * Extract the text content of the given file
+     * 
+     * @param file The file to read
+     * @return Extracted text from the file
+     * @throws IOException If the file cannot be read or parsed
+     */
+    String extractText(File file) throws IOException;
+}
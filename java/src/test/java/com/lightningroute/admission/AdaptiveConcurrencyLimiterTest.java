@@ -0,0 +1,231 @@
+package com.lightningroute.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long NORMAL_LATENCY = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SLOW_LATENCY = TimeUnit.MILLISECONDS.toNanos(1000);
+
+    @Test
+    void growsUnderSteadyLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 0);
+
+        for (int i = 0; i < 20; i++) {
+            fullRound(limiter, NORMAL_LATENCY, true);
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void neverGrowsPastMaxLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 30, 0, 0);
+
+        for (int i = 0; i < 200; i++) {
+            fullRound(limiter, NORMAL_LATENCY, true);
+        }
+
+        assertEquals(30, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 0);
+        for (int i = 0; i < 20; i++) {
+            fullRound(limiter, NORMAL_LATENCY, true);
+        }
+        int steadyLimit = limiter.getLimit();
+
+        fullRound(limiter, SLOW_LATENCY, true);
+        fullRound(limiter, SLOW_LATENCY, true);
+
+        assertTrue(limiter.getLimit() < steadyLimit, "limit " + limiter.getLimit() + " after " + steadyLimit);
+    }
+
+    @Test
+    void shrinksOnFailure() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 0);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        permit.recordUpstream(NORMAL_LATENCY, false);
+        permit.release();
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void neverShrinksBelowMinLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 100, 0, 0);
+
+        for (int i = 0; i < 20; i++) {
+            fullRound(limiter, NORMAL_LATENCY, false);
+        }
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void permitsWithoutUpstreamCallsLeaveLimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 0);
+        fullRound(limiter, NORMAL_LATENCY, true);
+        int limit = limiter.getLimit();
+
+        // Cache hits and client errors never leave the process
+        for (int i = 0; i < 20; i++) {
+            fullRound(limiter, 0, true);
+        }
+
+        assertEquals(limit, limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileLimitIsLargelyUnused() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 0);
+
+        // One request at a time never uses half of the limit
+        for (int i = 0; i < 100; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            permit.recordUpstream(NORMAL_LATENCY, true);
+            permit.release();
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void shedsWaiterAfterQueueWait() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 50, 10);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire();
+
+        long start = System.nanoTime();
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertNull(permit);
+        assertTrue(waitedMillis >= 50 && waitedMillis < 1000, "waited " + waitedMillis + " ms");
+        held.release();
+    }
+
+    @Test
+    void shedsImmediatelyWhenQueueIsFull() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 5000, 1);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire();
+
+        AtomicReference<AdaptiveConcurrencyLimiter.Permit> waiterPermit = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                waiterPermit.set(limiter.tryAcquire());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        awaitWaiting(waiter);
+
+        long start = System.nanoTime();
+        assertNull(limiter.tryAcquire());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+        // The queued request still gets the next free permit
+        held.release();
+        waiter.join(5000);
+        assertNotNull(waiterPermit.get());
+        waiterPermit.get().release();
+    }
+
+    @Test
+    void boundsWaitUnderOverload() throws InterruptedException {
+        long queueWaitMillis = 100;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 4, queueWaitMillis, 8);
+        List<Long> waits = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+
+        // 32 clients against 4 permits, each holding its permit for 20 ms
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            Thread client = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 10; j++) {
+                        long start = System.nanoTime();
+                        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+                        waits.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        if (permit == null) {
+                            shed.incrementAndGet();
+                            continue;
+                        }
+                        admitted.incrementAndGet();
+                        Thread.sleep(20);
+                        permit.recordUpstream(TimeUnit.MILLISECONDS.toNanos(20), true);
+                        permit.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+
+        List<Long> sorted = new ArrayList<>(waits);
+        Collections.sort(sorted);
+        long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+
+        assertTrue(admitted.get() > 0 && shed.get() > 0, admitted + " admitted, " + shed + " shed");
+        // Nobody waits much longer than the queue-wait budget, however long the backlog
+        assertTrue(p99 <= queueWaitMillis + 150, "p99 wait " + p99 + " ms");
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 0, 100, 500, 50));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 2, 100, 500, 50));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(300, 2, 200, 500, 50));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 20, 5, 500, 50));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 1, 100, -1, 50));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(10, 1, 100, 500, -1));
+    }
+
+    /**
+     * Acquire every permit the current limit allows, record the same upstream
+     * latency on each (none if zero), then release them all
+     */
+    private static void fullRound(AdaptiveConcurrencyLimiter limiter, long latencyNanos, boolean succeeded) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        try {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                permits.add(limiter.tryAcquire());
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        for (AdaptiveConcurrencyLimiter.Permit permit : permits) {
+            if (latencyNanos > 0) {
+                permit.recordUpstream(latencyNanos, succeeded);
+            }
+            permit.release();
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.currentTimeMillis() < deadline, "thread never started waiting");
+            Thread.sleep(1);
+        }
+    }
+}
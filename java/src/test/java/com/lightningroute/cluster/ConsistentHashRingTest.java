@@ -0,0 +1,80 @@
+package com.lightningroute.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> MEMBERS = List.of(
+            "http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+    private static final int KEYS = 30000;
+    private static final int VIRTUAL_NODES = 128;
+
+    @Test
+    void spreadsKeysEvenlyAcrossMembers() {
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, VIRTUAL_NODES);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf(key(i)), 1, Integer::sum);
+        }
+
+        double expected = (double) KEYS / MEMBERS.size();
+        assertEquals(MEMBERS.size(), counts.size());
+        counts.forEach((member, count) ->
+                assertEquals(expected, count, expected * 0.2, "share of " + member));
+    }
+
+    @Test
+    void addingMemberOnlyMovesKeysToNewMember() {
+        List<String> grown = new ArrayList<>(MEMBERS);
+        grown.add("http://localhost:8084");
+        ConsistentHashRing before = new ConsistentHashRing(MEMBERS, VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(grown, VIRTUAL_NODES);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String oldOwner = before.ownerOf(key(i));
+            String newOwner = after.ownerOf(key(i));
+            if (!oldOwner.equals(newOwner)) {
+                moved++;
+                assertEquals("http://localhost:8084", newOwner);
+            }
+        }
+
+        // Ideally a quarter of the keys move to the fourth member
+        double share = (double) moved / KEYS;
+        assertTrue(share > 0.15 && share < 0.35, "moved share " + share);
+    }
+
+    @Test
+    void skippingMemberOnlyMovesItsOwnKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, VIRTUAL_NODES);
+        String down = "http://localhost:8082";
+
+        for (int i = 0; i < KEYS; i++) {
+            String owner = ring.ownerOf(key(i));
+            String fallbackOwner = ring.ownerOf(key(i), member -> !member.equals(down));
+            assertNotEquals(down, fallbackOwner);
+            if (!owner.equals(down)) {
+                assertEquals(owner, fallbackOwner);
+            }
+        }
+    }
+
+    @Test
+    void returnsNullWhenNoMemberIsEligible() {
+        assertNull(new ConsistentHashRing(List.of(), VIRTUAL_NODES).ownerOf(key(1)));
+        assertNull(new ConsistentHashRing(MEMBERS, VIRTUAL_NODES).ownerOf(key(1), member -> false));
+    }
+
+    private static String key(int i) {
+        return ContentDigest.of("document " + i);
+    }
+}
@@ -0,0 +1,186 @@
+package com.lightningroute.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lightningroute.exception.GlobalExceptionHandler.OpenAIApiException;
+import com.lightningroute.model.MindMap;
+import com.lightningroute.service.OpenAIService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheConfigTest {
+
+    private static final String TEXT = "photosynthesis";
+
+    private final AtomicLong tickerNanos = new AtomicLong();
+    // Refreshes are queued here and run by the test, so stale reads can be observed mid-refresh
+    private final Queue<Runnable> refreshTasks = new ArrayDeque<>();
+    private final OpenAIService openAIService = mock(OpenAIService.class);
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        Executor refreshExecutor = refreshTasks::add;
+        CacheManager cacheManager = CacheConfig.createCacheManager(Caffeine.newBuilder()
+                .ticker(tickerNanos::get)
+                .executor(Runnable::run)
+                .expireAfterWrite(Duration.ofMinutes(30))
+                .refreshAfterWrite(Duration.ofMinutes(20)),
+                provider(openAIService), refreshExecutor);
+        cache = cacheManager.getCache(CacheConfig.MINDMAP_CACHE);
+    }
+
+    @Test
+    void freshReadDoesNotRefresh() {
+        cache.put(TEXT, mindMap("old"));
+        advanceMinutes(19);
+
+        assertEquals("old", title(cache.get(TEXT)));
+
+        assertTrue(refreshTasks.isEmpty());
+        verifyNoInteractions(openAIService);
+    }
+
+    @Test
+    void staleReadServesOldMapAndRefreshesOnce() {
+        cache.put(TEXT, mindMap("old"));
+        advanceMinutes(21);
+        when(openAIService.requestMindMap(TEXT)).thenReturn(mindMap("new"));
+
+        assertEquals("old", title(cache.get(TEXT)));
+        assertEquals("old", title(cache.get(TEXT)));
+        assertEquals(1, refreshTasks.size());
+
+        runRefreshTasks();
+
+        assertEquals("new", title(cache.get(TEXT)));
+        verify(openAIService, times(1)).requestMindMap(TEXT);
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void failedRefreshKeepsOldMap() {
+        cache.put(TEXT, mindMap("old"));
+        advanceMinutes(21);
+        when(openAIService.requestMindMap(TEXT)).thenThrow(new OpenAIApiException("OpenAI unavailable"));
+
+        assertEquals("old", title(cache.get(TEXT)));
+        runRefreshTasks();
+
+        assertEquals("old", title(cache.get(TEXT)));
+        // The next stale read tries again
+        assertEquals(1, refreshTasks.size());
+    }
+
+    @Test
+    void unreadMapStillExpiresAfterTtl() {
+        cache.put(TEXT, mindMap("old"));
+        advanceMinutes(31);
+
+        assertNull(cache.get(TEXT));
+        verifyNoInteractions(openAIService);
+    }
+
+    @Test
+    void missFallsThroughToCacheableMethod() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(OpenAIService.class, () -> openAIService);
+            context.register(CachingConfig.class);
+            context.refresh();
+            GeneratingService service = context.getBean(GeneratingService.class);
+
+            assertEquals(TEXT, service.generateMindMap(TEXT).getTitle());
+            assertEquals(TEXT, service.generateMindMap(TEXT).getTitle());
+
+            assertEquals(1, service.calls());
+            verifyNoInteractions(openAIService);
+        }
+    }
+
+    @Test
+    void rejectsRefreshIntervalNotShorterThanTtl() {
+        CacheConfig config = new CacheConfig(provider(openAIService));
+        ReflectionTestUtils.setField(config, "ttlMinutes", 30);
+        ReflectionTestUtils.setField(config, "refreshAfterMinutes", 30);
+        ReflectionTestUtils.setField(config, "maxEntries", 1000);
+
+        assertThrows(IllegalStateException.class, () -> config.cacheManager(new ThreadPoolTaskExecutor()));
+    }
+
+    private void advanceMinutes(long minutes) {
+        tickerNanos.addAndGet(TimeUnit.MINUTES.toNanos(minutes));
+    }
+
+    private void runRefreshTasks() {
+        Runnable task;
+        while ((task = refreshTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static ObjectProvider<OpenAIService> provider(OpenAIService openAIService) {
+        return new StaticListableBeanFactory(Map.of("openAIService", openAIService))
+                .getBeanProvider(OpenAIService.class);
+    }
+
+    private static String title(Cache.ValueWrapper wrapper) {
+        assertNotNull(wrapper);
+        return ((MindMap) wrapper.get()).getTitle();
+    }
+
+    private static MindMap mindMap(String title) {
+        return MindMap.builder().title(title).build();
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        CacheManager cacheManager(ObjectProvider<OpenAIService> openAIService) {
+            return CacheConfig.createCacheManager(Caffeine.newBuilder(), openAIService, Runnable::run);
+        }
+
+        @Bean
+        GeneratingService generatingService() {
+            return new GeneratingService();
+        }
+    }
+
+    static class GeneratingService {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Cacheable(CacheConfig.MINDMAP_CACHE)
+        public MindMap generateMindMap(String text) {
+            calls.incrementAndGet();
+            return mindMap(text);
+        }
+
+        public int calls() {
+            return calls.get();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.lightningroute.service;
+
+import com.lightningroute.exception.GlobalExceptionHandler.AdmissionRejectedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlServiceTest {
+
+    @Test
+    void ownerRejectionServesFallbackUnderFallbackPolicy() throws Exception {
+        AdmissionControlService admission = admission(new MockEnvironment()
+                .withProperty("mindmap.admission.generate.policy", "fallback"));
+
+        String result = admission.admit(AdmissionControlService.GENERATE,
+                () -> {
+                    throw new AdmissionRejectedException("owner overloaded");
+                },
+                () -> "fallback");
+
+        assertEquals("fallback", result);
+        // The permit is returned even though the admitted work failed
+        Map<?, ?> generate = (Map<?, ?>) admission.status().get(AdmissionControlService.GENERATE);
+        assertEquals(0, generate.get("inFlight"));
+    }
+
+    @Test
+    void ownerRejectionIsPassedOnUnderRejectPolicy() {
+        AdmissionControlService admission = admission(new MockEnvironment()
+                .withProperty("mindmap.admission.generate.policy", "reject"));
+
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit(AdmissionControlService.GENERATE,
+                () -> {
+                    throw new AdmissionRejectedException("owner overloaded");
+                },
+                () -> "fallback"));
+    }
+
+    @Test
+    void ownerRejectionIsPassedOnWithoutFallback() {
+        AdmissionControlService admission = admission(new MockEnvironment()
+                .withProperty("mindmap.admission.upload.policy", "fallback"));
+
+        assertThrows(AdmissionRejectedException.class, () -> admission.admit(AdmissionControlService.UPLOAD,
+                () -> {
+                    throw new AdmissionRejectedException("owner overloaded");
+                },
+                null));
+    }
+
+    @Test
+    void rejectsInitialLimitOutsideBounds() {
+        assertThrows(IllegalStateException.class, () -> admission(new MockEnvironment()
+                .withProperty("mindmap.admission.generate.initial-limit", "500")));
+    }
+
+    @Test
+    void rejectsNegativeQueueSettings() {
+        assertThrows(IllegalStateException.class, () -> admission(new MockEnvironment()
+                .withProperty("mindmap.admission.upload.queue-wait", "-1")));
+        assertThrows(IllegalStateException.class, () -> admission(new MockEnvironment()
+                .withProperty("mindmap.admission.forward.max-queue", "-1")));
+    }
+
+    @Test
+    void rejectsUnknownPolicy() {
+        assertThrows(IllegalStateException.class, () -> admission(new MockEnvironment()
+                .withProperty("mindmap.admission.generate.policy", "queue")));
+    }
+
+    private static AdmissionControlService admission(MockEnvironment environment) {
+        AdmissionControlService admission = new AdmissionControlService(environment);
+        ReflectionTestUtils.setField(admission, "enabled", true);
+        admission.init();
+        return admission;
+    }
+}
@@ -0,0 +1,174 @@
+package com.lightningroute.service;
+
+import com.lightningroute.exception.GlobalExceptionHandler.AdmissionRejectedException;
+import com.lightningroute.exception.GlobalExceptionHandler.OpenAIApiException;
+import com.lightningroute.model.MindMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class ClusterRoutingServiceTest {
+
+    private static final String SELF = "http://replica-a:8080";
+    private static final String PEER = "http://replica-b:8080";
+    private static final String FORWARD_URL = PEER + ClusterRoutingService.FORWARD_PATH;
+
+    private final OpenAIService openAIService = mock(OpenAIService.class);
+    private MockRestServiceServer peer;
+    private ClusterRoutingService routing;
+    private String peerOwnedText;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder restClientBuilder = RestClient.builder();
+        peer = MockRestServiceServer.bindTo(restClientBuilder).build();
+
+        routing = new ClusterRoutingService(openAIService, restClientBuilder.build(),
+                new AdmissionControlService(new MockEnvironment()));
+        ReflectionTestUtils.setField(routing, "enabled", true);
+        ReflectionTestUtils.setField(routing, "self", SELF);
+        ReflectionTestUtils.setField(routing, "peers", List.of(SELF, PEER));
+        ReflectionTestUtils.setField(routing, "virtualNodes", 128);
+        ReflectionTestUtils.setField(routing, "peerRetryInterval", 60);
+        routing.init();
+
+        peerOwnedText = findPeerOwnedText();
+        when(openAIService.generateMindMap(peerOwnedText)).thenReturn(mindMap("Local"));
+    }
+
+    @Test
+    void forwardsToOwningReplica() {
+        peer.expect(once(), requestTo(FORWARD_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.text").value(peerOwnedText))
+                .andRespond(withSuccess("{\"title\":\"Remote\",\"nodes\":[]}", MediaType.APPLICATION_JSON));
+
+        assertEquals("Remote", routing.generateMindMap(peerOwnedText).getTitle());
+
+        peer.verify();
+        verifyNoInteractions(openAIService);
+    }
+
+    @Test
+    void generatesLocallyAndSkipsOwnerThatRefusesConnections() {
+        peer.expect(once(), requestTo(FORWARD_URL))
+                .andRespond(request -> {
+                    throw new ConnectException("Connection refused");
+                });
+
+        assertEquals("Local", routing.generateMindMap(peerOwnedText).getTitle());
+        // Within the retry interval the owner is skipped without another connection attempt
+        assertEquals("Local", routing.generateMindMap(peerOwnedText).getTitle());
+
+        peer.verify();
+        verify(openAIService, times(2)).generateMindMap(peerOwnedText);
+        assertEquals(List.of(PEER), routing.status().get("unreachable"));
+    }
+
+    @Test
+    void retriesOwnerAfterRetryInterval() {
+        ReflectionTestUtils.setField(routing, "peerRetryInterval", 0);
+        peer.expect(once(), requestTo(FORWARD_URL))
+                .andRespond(request -> {
+                    throw new ConnectException("Connection refused");
+                });
+        peer.expect(once(), requestTo(FORWARD_URL))
+                .andRespond(withSuccess("{\"title\":\"Remote\",\"nodes\":[]}", MediaType.APPLICATION_JSON));
+
+        assertEquals("Local", routing.generateMindMap(peerOwnedText).getTitle());
+        assertEquals("Remote", routing.generateMindMap(peerOwnedText).getTitle());
+
+        peer.verify();
+    }
+
+    @Test
+    void readTimeoutIsOwnerErrorWithoutLocalCall() {
+        peer.expect(once(), requestTo(FORWARD_URL))
+                .andRespond(request -> {
+                    throw new HttpTimeoutException("request timed out");
+                });
+
+        assertThrows(OpenAIApiException.class, () -> routing.generateMindMap(peerOwnedText));
+
+        peer.verify();
+        verifyNoInteractions(openAIService);
+        assertEquals(List.of(), routing.status().get("unreachable"));
+    }
+
+    @Test
+    void passesOwnerOverloadThrough() {
+        peer.expect(once(), requestTo(FORWARD_URL))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThrows(AdmissionRejectedException.class, () -> routing.generateMindMap(peerOwnedText));
+
+        peer.verify();
+        verifyNoInteractions(openAIService);
+    }
+
+    @Test
+    void returnsOwnerServerErrorWithoutLocalCall() {
+        peer.expect(once(), requestTo(FORWARD_URL))
+                .andRespond(withServerError());
+
+        assertThrows(OpenAIApiException.class, () -> routing.generateMindMap(peerOwnedText));
+
+        peer.verify();
+        verifyNoInteractions(openAIService);
+        assertEquals(List.of(), routing.status().get("unreachable"));
+    }
+
+    @Test
+    void generatesOwnInputsLocally() {
+        String ownText = findOwnText();
+        when(openAIService.generateMindMap(ownText)).thenReturn(mindMap("Own"));
+
+        assertEquals("Own", routing.generateMindMap(ownText).getTitle());
+
+        peer.verify();
+    }
+
+    @Test
+    void rejectsSelfMissingFromPeers() {
+        ReflectionTestUtils.setField(routing, "self", "http://replica-c:8080");
+
+        assertThrows(IllegalStateException.class, routing::init);
+    }
+
+    private String findPeerOwnedText() {
+        for (int i = 0; ; i++) {
+            String text = "document " + i;
+            if (!routing.isLocalOwner(text)) {
+                return text;
+            }
+        }
+    }
+
+    private String findOwnText() {
+        for (int i = 0; ; i++) {
+            String text = "document " + i;
+            if (routing.isLocalOwner(text)) {
+                return text;
+            }
+        }
+    }
+
+    private static MindMap mindMap(String title) {
+        return MindMap.builder().title(title).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.lightningroute.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lightningroute.model.MindMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JSONParserServiceTest {
+
+    private final JSONParserService parser = new JSONParserService(new ObjectMapper());
+
+    @Test
+    void parsesNestedConnectionsInsideNodes() {
+        String response = "Sure! {\"title\":\"Cells\",\"nodes\":["
+                + "{\"id\":\"1\",\"label\":\"Cell\",\"category\":\"root\",\"connections\":[{\"target\":\"2\",\"relationship\":\"has\"}]},"
+                + "{\"id\":\"2\",\"label\":\"Nucleus\",\"category\":\"concept\"}]} Hope this helps.";
+
+        MindMap mindMap = parser.parseJsonToMindMap(response);
+
+        assertNotNull(mindMap);
+        assertEquals("Cells", mindMap.getTitle());
+        assertEquals(2, mindMap.getNodes().size());
+        assertEquals("1", mindMap.getRootNodeId());
+        assertEquals("2", mindMap.getNodeById("1").getConnections().get(0).getTarget());
+    }
+
+    @Test
+    void returnsNullWithoutJson() {
+        assertNull(parser.parseJsonToMindMap("r Cell\n  c Nucleus"));
+    }
+}
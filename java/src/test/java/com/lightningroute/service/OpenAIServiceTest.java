@@ -0,0 +1,28 @@
+package com.lightningroute.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAIServiceTest {
+
+    @Test
+    void resolvesOutputFormatIgnoringCase() {
+        assertEquals(OpenAIService.OutputFormat.OUTLINE, outputFormatOf("outline"));
+        assertEquals(OpenAIService.OutputFormat.JSON, outputFormatOf(" JSON "));
+    }
+
+    @Test
+    void rejectsUnknownOutputFormat() {
+        assertThrows(IllegalStateException.class, () -> outputFormatOf("yaml"));
+        assertThrows(IllegalStateException.class, () -> outputFormatOf("outlines"));
+    }
+
+    private static OpenAIService.OutputFormat outputFormatOf(String name) {
+        OpenAIService service = new OpenAIService(null, null, null, null);
+        ReflectionTestUtils.setField(service, "outputFormatName", name);
+        service.init();
+        return (OpenAIService.OutputFormat) ReflectionTestUtils.getField(service, "outputFormat");
+    }
+}
@@ -0,0 +1,110 @@
+package com.lightningroute.service;
+
+import com.lightningroute.model.MindMap;
+import com.lightningroute.model.MindMapNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutlineParserServiceTest {
+
+    private static final String README_EXAMPLE = String.join("\n",
+            "@t Photosynthesis",
+            "@d How plants turn light into chemical energy",
+            "r Photosynthesis | process in plants",
+            "  c Light reactions | take place in the thylakoids",
+            "    e Photolysis of water",
+            "  c Calvin cycle",
+            "    d RuBisCO | enzyme fixing CO2",
+            "--",
+            "2>4 supplies ATP to");
+
+    private final OutlineParserService parser = new OutlineParserService();
+
+    @Test
+    void parsesReadmeExample() {
+        MindMap mindMap = parser.parseOutlineToMindMap(README_EXAMPLE);
+
+        assertNotNull(mindMap);
+        assertEquals("Photosynthesis", mindMap.getTitle());
+        assertEquals("How plants turn light into chemical energy", mindMap.getDescription());
+        assertEquals("n1", mindMap.getRootNodeId());
+        assertEquals(5, mindMap.getNodes().size());
+
+        MindMapNode root = mindMap.getNodeById("n1");
+        assertEquals("root", root.getCategory());
+        assertEquals("process in plants", root.getTooltip());
+        assertEquals(0, root.getLevel());
+        assertEquals(List.of("n2", "n4"), targets(root));
+
+        MindMapNode lightReactions = mindMap.getNodeById("n2");
+        assertEquals("Light reactions", lightReactions.getLabel());
+        assertEquals(List.of("n3", "n4"), targets(lightReactions));
+        assertEquals("supplies ATP to", lightReactions.getConnections().get(1).getRelationship());
+
+        MindMapNode rubisco = mindMap.getNodeById("n5");
+        assertEquals("definition", rubisco.getCategory());
+        assertEquals(2, rubisco.getLevel());
+    }
+
+    @Test
+    void acceptsListMarkersAndSpacedArrows() {
+        String bulleted = String.join("\n",
+                "@t Photosynthesis",
+                "- r Photosynthesis | process in plants",
+                "  - c Light reactions",
+                "    * e Photolysis of water",
+                "  1. c Calvin cycle",
+                "    2) d RuBisCO",
+                "--",
+                "- 2 > 4 supplies ATP to");
+
+        MindMap mindMap = parser.parseOutlineToMindMap(bulleted);
+
+        assertNotNull(mindMap);
+        assertEquals(5, mindMap.getNodes().size());
+        assertEquals("Photolysis of water", mindMap.getNodeById("n3").getLabel());
+        assertEquals(2, mindMap.getNodeById("n5").getLevel());
+        assertEquals(List.of("n2", "n4"), targets(mindMap.getNodeById("n1")));
+        assertEquals(List.of("n3", "n4"), targets(mindMap.getNodeById("n2")));
+    }
+
+    @Test
+    void ignoresCodeFencesAndPreamble() {
+        String fenced = "Here is your mind map:\n```\n" + README_EXAMPLE + "\n```";
+
+        MindMap mindMap = parser.parseOutlineToMindMap(fenced);
+
+        assertNotNull(mindMap);
+        assertEquals(5, mindMap.getNodes().size());
+        assertEquals("Photosynthesis", mindMap.getTitle());
+    }
+
+    @Test
+    void rejectsOutlineWithUnrecognisedLineBetweenNodes() {
+        String broken = String.join("\n",
+                "r Photosynthesis",
+                "  c Light reactions",
+                "  > Calvin cycle",
+                "  c Inputs");
+
+        assertNull(parser.parseOutlineToMindMap(broken));
+    }
+
+    @Test
+    void rejectsJsonReply() {
+        String json = "{\"title\":\"Photosynthesis\",\"nodes\":[{\"id\":\"1\",\"label\":\"Photosynthesis\","
+                + "\"category\":\"root\",\"connections\":[{\"target\":\"2\"}]}]}";
+
+        assertNull(parser.parseOutlineToMindMap(json));
+        assertNull(parser.parseOutlineToMindMap(json.replace(",", ",\n  ")));
+    }
+
+    private static List<String> targets(MindMapNode node) {
+        return node.getConnections().stream()
+                .map(MindMapNode.MindMapEdge::getTarget)
+                .toList();
+    }
+}